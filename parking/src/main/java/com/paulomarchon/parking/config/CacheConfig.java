@@ -0,0 +1,58 @@
+package com.paulomarchon.parking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.paulomarchon.parking.veiculo.Veiculo;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nivel do Hibernate, local e em memoria (Caffeine via JCache).
+ * As regioes sao criadas aqui para que capacidade e TTL venham de {@link CacheProperties}.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties cacheProperties) {
+        // Um gerenciador por contexto: o padrao do provider e unico na JVM, e fecha-lo no encerramento de
+        // um contexto fecharia as regioes em uso pelos demais (ex.: contextos de teste em cache).
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("parking-hibernate-" + UUID.randomUUID()), CacheConfig.class.getClassLoader());
+
+        CaffeineConfiguration<Object, Object> limitada = new CaffeineConfiguration<>();
+        limitada.setMaximumSize(OptionalLong.of(cacheProperties.capacidade()));
+        limitada.setExpireAfterWrite(OptionalLong.of(cacheProperties.ttl().toNanos()));
+        limitada.setStatisticsEnabled(true);
+
+        criarSeAusente(cacheManager, Veiculo.CACHE_REGION, limitada);
+        criarSeAusente(cacheManager, Veiculo.NATURAL_ID_CACHE_REGION, limitada);
+        criarSeAusente(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, limitada);
+
+        // Os timestamps invalidam o cache de consultas; nao podem expirar antes dos resultados.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        criarSeAusente(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void criarSeAusente(CacheManager cacheManager, String nome, CaffeineConfiguration<Object, Object> configuracao) {
+        if (cacheManager.getCache(nome) == null)
+            cacheManager.createCache(nome, configuracao);
+    }
+}
@@ -0,0 +1,13 @@
+package com.paulomarchon.parking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "parking.cache")
+public record CacheProperties(
+        @DefaultValue("10000") long capacidade,
+        @DefaultValue("10m") Duration ttl
+) {
+}
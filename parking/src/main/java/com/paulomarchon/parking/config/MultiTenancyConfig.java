@@ -0,0 +1,99 @@
+package com.paulomarchon.parking.config;
+
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoConnectionProvider;
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoFilter;
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoIdentifierResolver;
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Particiona os dados por estabelecimento: cada um e roteado para o seu shard (banco ou schema), com
+ * pool de conexoes, migracoes Flyway e chaves de cache de segundo nivel proprios.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "parking.multitenancy", name = "enabled", havingValue = "true")
+public class MultiTenancyConfig {
+
+    @Bean
+    public EstabelecimentoRoutingDataSource dataSource(MultiTenancyProperties multiTenancyProperties, Environment environment, MeterRegistry meterRegistry) {
+        if (multiTenancyProperties.estabelecimentos() == null || multiTenancyProperties.estabelecimentos().isEmpty())
+            throw new IllegalStateException("Nenhum estabelecimento configurado em parking.multitenancy.estabelecimentos");
+
+        Map<String, HikariDataSource> dataSources = new LinkedHashMap<>();
+        multiTenancyProperties.estabelecimentos().forEach((estabelecimento, shard) ->
+                dataSources.put(estabelecimento, criarPool(estabelecimento, shard, environment, meterRegistry)));
+
+        String estabelecimentoPadrao = multiTenancyProperties.estabelecimentoPadrao() != null
+                ? multiTenancyProperties.estabelecimentoPadrao()
+                : dataSources.keySet().iterator().next();
+
+        return new EstabelecimentoRoutingDataSource(dataSources, estabelecimentoPadrao);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer multiTenancyHibernateCustomizer(EstabelecimentoRoutingDataSource dataSource) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER, new EstabelecimentoConnectionProvider(dataSource));
+            hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new EstabelecimentoIdentifierResolver());
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(MultiTenancyProperties multiTenancyProperties, EstabelecimentoRoutingDataSource dataSource) {
+        return flyway -> dataSource.getDataSources().forEach((estabelecimento, estabelecimentoDataSource) -> {
+            FluentConfiguration configuracao = Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(estabelecimentoDataSource);
+
+            String schema = multiTenancyProperties.estabelecimentos().get(estabelecimento).schema();
+            if (schema != null)
+                configuracao.schemas(schema).defaultSchema(schema);
+
+            configuracao.load().migrate();
+        });
+    }
+
+    @Bean
+    public EstabelecimentoFilter estabelecimentoFilter(MultiTenancyProperties multiTenancyProperties) {
+        return new EstabelecimentoFilter(multiTenancyProperties.estabelecimentos().keySet());
+    }
+
+    private static HikariDataSource criarPool(String estabelecimento, MultiTenancyProperties.Shard shard, Environment environment, MeterRegistry meterRegistry) {
+        // Parte dos ajustes de spring.datasource.hikari (ex.: perfil production) e sobrepoe os do shard.
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+
+        dataSource.setPoolName("estabelecimento-" + estabelecimento);
+        dataSource.setJdbcUrl(shard.url());
+        dataSource.setUsername(shard.username());
+        dataSource.setPassword(shard.password());
+        dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+        // Sem minimum-idle herdado (-1 no Hikari), o pool fica fixo no tamanho maximo do estabelecimento.
+        int minimumIdle = dataSource.getMinimumIdle();
+        dataSource.setMinimumIdle(minimumIdle >= 0 ? Math.min(minimumIdle, shard.maximumPoolSize()) : shard.maximumPoolSize());
+        if (shard.schema() != null)
+            dataSource.setSchema(shard.schema());
+
+        // Os pools nao sao beans, entao o Boot nao os instrumenta; as metricas hikaricp.* saem com a tag
+        // pool=estabelecimento-<id>.
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        return dataSource;
+    }
+}
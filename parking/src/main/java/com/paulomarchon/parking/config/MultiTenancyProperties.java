@@ -0,0 +1,28 @@
+package com.paulomarchon.parking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Shard de cada estabelecimento: um banco proprio ({@code url}) ou um schema em um banco compartilhado
+ * ({@code url} igual e {@code schema} diferente). Cada estabelecimento tem seu proprio pool, limitado por
+ * {@code maximum-pool-size}, para que um estabelecimento grande nao esgote as conexoes dos demais.
+ */
+@ConfigurationProperties(prefix = "parking.multitenancy")
+public record MultiTenancyProperties(
+        @DefaultValue("false") boolean enabled,
+        String estabelecimentoPadrao,
+        Map<String, Shard> estabelecimentos
+) {
+
+    public record Shard(
+            String url,
+            String username,
+            String password,
+            String schema,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import org.hibernate.engine.jdbc.connections.spi.AbstractDataSourceBasedMultiTenantConnectionProviderImpl;
+
+import javax.sql.DataSource;
+
+/**
+ * Entrega ao Hibernate a conexao do shard de cada estabelecimento. Com o multi-tenancy do Hibernate
+ * ativo, as chaves do cache de segundo nivel (entidades, natural ids e consultas) incluem o
+ * estabelecimento, entao registros de shards diferentes com o mesmo id nao se misturam.
+ */
+public class EstabelecimentoConnectionProvider extends AbstractDataSourceBasedMultiTenantConnectionProviderImpl<String> {
+    private final EstabelecimentoRoutingDataSource routingDataSource;
+
+    public EstabelecimentoConnectionProvider(EstabelecimentoRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    protected DataSource selectAnyDataSource() {
+        return routingDataSource.getResolvedDefaultDataSource();
+    }
+
+    @Override
+    protected DataSource selectDataSource(String estabelecimento) {
+        return routingDataSource.dataSourceDoEstabelecimento(estabelecimento);
+    }
+}
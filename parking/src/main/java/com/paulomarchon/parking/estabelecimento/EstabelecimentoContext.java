@@ -0,0 +1,53 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import java.util.function.Supplier;
+
+/**
+ * Estabelecimento (tenant) da thread atual. Define para qual shard as conexoes sao roteadas quando o
+ * multi-tenancy esta habilitado e separa os dados mantidos em memoria por estabelecimento.
+ */
+public final class EstabelecimentoContext {
+    public static final String PADRAO = "padrao";
+
+    private static final ThreadLocal<String> ESTABELECIMENTO = new ThreadLocal<>();
+
+    private EstabelecimentoContext() {
+    }
+
+    public static String atual() {
+        String estabelecimento = ESTABELECIMENTO.get();
+        return estabelecimento != null ? estabelecimento : PADRAO;
+    }
+
+    static String definido() {
+        return ESTABELECIMENTO.get();
+    }
+
+    public static void definir(String estabelecimento) {
+        ESTABELECIMENTO.set(estabelecimento);
+    }
+
+    public static void limpar() {
+        ESTABELECIMENTO.remove();
+    }
+
+    public static <T> T executar(String estabelecimento, Supplier<T> operacao) {
+        String anterior = ESTABELECIMENTO.get();
+        ESTABELECIMENTO.set(estabelecimento);
+        try {
+            return operacao.get();
+        } finally {
+            if (anterior != null)
+                ESTABELECIMENTO.set(anterior);
+            else
+                ESTABELECIMENTO.remove();
+        }
+    }
+
+    public static void executar(String estabelecimento, Runnable operacao) {
+        executar(estabelecimento, () -> {
+            operacao.run();
+            return null;
+        });
+    }
+}
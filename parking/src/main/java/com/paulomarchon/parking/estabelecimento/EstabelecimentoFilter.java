@@ -0,0 +1,47 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Le o estabelecimento do cabecalho {@value #CABECALHO} e o define no {@link EstabelecimentoContext}
+ * durante a requisicao. Requisicoes sem estabelecimento conhecido sao recusadas.
+ */
+public class EstabelecimentoFilter extends OncePerRequestFilter {
+    public static final String CABECALHO = "X-Estabelecimento";
+
+    private final Set<String> estabelecimentos;
+
+    public EstabelecimentoFilter(Set<String> estabelecimentos) {
+        this.estabelecimentos = estabelecimentos;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String estabelecimento = request.getHeader(CABECALHO);
+
+        if (estabelecimento == null || !estabelecimentos.contains(estabelecimento)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Estabelecimento nao informado ou desconhecido!");
+            return;
+        }
+
+        EstabelecimentoContext.definir(estabelecimento);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            EstabelecimentoContext.limpar();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+public class EstabelecimentoIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return EstabelecimentoContext.atual();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
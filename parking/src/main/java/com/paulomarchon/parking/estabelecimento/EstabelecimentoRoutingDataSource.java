@@ -0,0 +1,45 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Roteia cada conexao para o pool do estabelecimento em {@link EstabelecimentoContext}. Sem
+ * estabelecimento definido usa o pool padrao (apenas para inicializacao); estabelecimento desconhecido
+ * e erro, nunca cai no padrao.
+ */
+public class EstabelecimentoRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final Map<String, HikariDataSource> dataSources;
+
+    public EstabelecimentoRoutingDataSource(Map<String, HikariDataSource> dataSources, String estabelecimentoPadrao) {
+        this.dataSources = Map.copyOf(dataSources);
+        setTargetDataSources(new HashMap<>(dataSources));
+        setDefaultTargetDataSource(dataSources.get(estabelecimentoPadrao));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return EstabelecimentoContext.definido();
+    }
+
+    public DataSource dataSourceDoEstabelecimento(String estabelecimento) {
+        DataSource dataSource = dataSources.get(estabelecimento);
+        if (dataSource == null)
+            throw new IllegalStateException("Estabelecimento sem shard configurado: " + estabelecimento);
+        return dataSource;
+    }
+
+    public Map<String, HikariDataSource> getDataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() {
+        dataSources.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,63 @@
+package com.paulomarchon.parking.movimentacao;
+
+import com.paulomarchon.parking.veiculo.Veiculo;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "movimentacoes")
+public class Movimentacao {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "veiculo_id", nullable = false)
+    private Veiculo veiculo;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TipoMovimentacao tipoMovimentacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+    @Column(nullable = false, unique = true)
+    private String chaveIdempotencia;
+
+    public Movimentacao(
+            Veiculo veiculo,
+            TipoMovimentacao tipoMovimentacao,
+            LocalDateTime dataHora,
+            String chaveIdempotencia) {
+        this.veiculo = veiculo;
+        this.tipoMovimentacao = tipoMovimentacao;
+        this.dataHora = dataHora;
+        this.chaveIdempotencia = chaveIdempotencia;
+    }
+
+    public Movimentacao() {
+
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public Veiculo getVeiculo() {
+        return veiculo;
+    }
+
+    public TipoMovimentacao getTipoMovimentacao() {
+        return tipoMovimentacao;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public String getChaveIdempotencia() {
+        return chaveIdempotencia;
+    }
+}
@@ -0,0 +1,7 @@
+package com.paulomarchon.parking.movimentacao;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MovimentacaoRepository extends JpaRepository<Movimentacao, Integer> {
+    boolean existsByChaveIdempotencia(String chaveIdempotencia);
+}
@@ -0,0 +1,41 @@
+package com.paulomarchon.parking.movimentacao;
+
+import com.paulomarchon.parking.veiculo.Placa;
+import com.paulomarchon.parking.veiculo.Veiculo;
+import com.paulomarchon.parking.veiculo.VeiculoService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+public class MovimentacaoService {
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final VeiculoService veiculoService;
+
+    public MovimentacaoService(MovimentacaoRepository movimentacaoRepository, VeiculoService veiculoService) {
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.veiculoService = veiculoService;
+    }
+
+    public boolean movimentacaoRegistrada(String chaveIdempotencia) {
+        return movimentacaoRepository.existsByChaveIdempotencia(chaveIdempotencia);
+    }
+
+    /**
+     * Registra a movimentacao uma unica vez por chave de idempotencia.
+     *
+     * @return {@code false} quando a chave ja havia sido registrada
+     */
+    @Transactional
+    public boolean registrarMovimentacao(Placa placa, TipoMovimentacao tipoMovimentacao, LocalDateTime dataHora, String chaveIdempotencia) {
+        if (movimentacaoRepository.existsByChaveIdempotencia(chaveIdempotencia))
+            return false;
+
+        Veiculo veiculo = veiculoService.resolverVeiculoPorPlaca(placa);
+
+        movimentacaoRepository.save(new Movimentacao(veiculo, tipoMovimentacao, dataHora, chaveIdempotencia));
+
+        return true;
+    }
+}
@@ -0,0 +1,6 @@
+package com.paulomarchon.parking.movimentacao;
+
+public enum TipoMovimentacao {
+    ENTRADA,
+    SAIDA
+}
@@ -0,0 +1,16 @@
+package com.paulomarchon.parking.portaria;
+
+import com.paulomarchon.parking.movimentacao.TipoMovimentacao;
+import com.paulomarchon.parking.veiculo.Placa;
+
+import java.time.LocalDateTime;
+
+record EventoPortaria(
+        String estabelecimento,
+        String chaveIdempotencia,
+        Placa placa,
+        TipoMovimentacao tipoMovimentacao,
+        LocalDateTime dataHora,
+        long recebidoEmNanos
+) {
+}
@@ -0,0 +1,31 @@
+package com.paulomarchon.parking.portaria;
+
+import com.paulomarchon.parking.portaria.payload.EventoPortariaRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/portaria/eventos")
+public class EventoPortariaController {
+    private final FilaEventosPortaria filaEventosPortaria;
+
+    public EventoPortariaController(FilaEventosPortaria filaEventosPortaria) {
+        this.filaEventosPortaria = filaEventosPortaria;
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> receberEvento(
+            @RequestHeader("Idempotency-Key") String chaveIdempotencia,
+            @Valid @RequestBody EventoPortariaRequest eventoPortariaRequest) {
+        return switch (filaEventosPortaria.enfileirar(chaveIdempotencia, eventoPortariaRequest)) {
+            case ACEITO -> ResponseEntity.accepted().build();
+            case DUPLICADO -> ResponseEntity.ok().build();
+            case FILA_CHEIA -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        };
+    }
+}
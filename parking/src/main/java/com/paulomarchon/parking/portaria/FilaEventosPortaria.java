@@ -0,0 +1,235 @@
+package com.paulomarchon.parking.portaria;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoContext;
+import com.paulomarchon.parking.exception.RecursoNaoEncontradoException;
+import com.paulomarchon.parking.movimentacao.MovimentacaoService;
+import com.paulomarchon.parking.movimentacao.TipoMovimentacao;
+import com.paulomarchon.parking.portaria.payload.EventoPortariaRequest;
+import com.paulomarchon.parking.veiculo.Placa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recebe os eventos de leitura de placa das portarias em uma fila limitada e confirma o recebimento
+ * imediatamente; consumidores em segundo plano resolvem a placa e registram a movimentacao.
+ * <p>
+ * Quando a fila, ou a parte dela reservada ao estabelecimento, esta cheia o evento e recusado
+ * ({@link ResultadoIngestao#FILA_CHEIA}) para que a portaria reenvie depois; assim um estabelecimento
+ * com muito movimento nao ocupa a fila dos demais. Reenvios com a mesma chave de idempotencia sao
+ * descartados dentro da janela configurada; fora dela, a restricao unica em {@code movimentacoes}
+ * evita o registro duplicado.
+ */
+@Component
+public class FilaEventosPortaria implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(FilaEventosPortaria.class);
+    // Chaves lembradas por evento que cabe na fila: cobre varios ciclos da fila dentro da janela.
+    private static final int CHAVES_POR_POSICAO_DA_FILA = 10;
+
+    private final MovimentacaoService movimentacaoService;
+    private final PortariaProperties portariaProperties;
+    private final BlockingQueue<EventoPortaria> fila;
+    private final Cache<String, Boolean> chavesRecebidas;
+    private final Map<String, AtomicInteger> pendentesPorEstabelecimento = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final Counter aceitos;
+    private final Counter duplicados;
+    private final Counter recusados;
+    private final Counter registrados;
+    private final Counter naoResolvidos;
+    private final Counter falhas;
+    private final Timer atraso;
+
+    private volatile boolean ativo;
+    private ExecutorService consumidores;
+
+    public FilaEventosPortaria(MovimentacaoService movimentacaoService, PortariaProperties portariaProperties, MeterRegistry meterRegistry) {
+        this.movimentacaoService = movimentacaoService;
+        this.portariaProperties = portariaProperties;
+        this.meterRegistry = meterRegistry;
+        this.fila = new ArrayBlockingQueue<>(portariaProperties.capacidadeFila());
+        this.chavesRecebidas = Caffeine.newBuilder()
+                .expireAfterWrite(portariaProperties.janelaIdempotencia())
+                .maximumSize((long) portariaProperties.capacidadeFila() * CHAVES_POR_POSICAO_DA_FILA)
+                .build();
+
+        Gauge.builder("portaria.fila.tamanho", fila, BlockingQueue::size)
+                .description("Eventos aguardando processamento")
+                .register(meterRegistry);
+        Gauge.builder("portaria.fila.capacidade.restante", fila, BlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+
+        this.aceitos = contador(meterRegistry, "portaria.eventos.recebidos", "resultado", "aceito");
+        this.duplicados = contador(meterRegistry, "portaria.eventos.recebidos", "resultado", "duplicado");
+        this.recusados = contador(meterRegistry, "portaria.eventos.recebidos", "resultado", "fila_cheia");
+        this.registrados = contador(meterRegistry, "portaria.eventos.processados", "resultado", "registrado");
+        this.naoResolvidos = contador(meterRegistry, "portaria.eventos.processados", "resultado", "placa_nao_encontrada");
+        this.falhas = contador(meterRegistry, "portaria.eventos.processados", "resultado", "falha");
+        this.atraso = Timer.builder("portaria.eventos.atraso")
+                .description("Tempo entre o recebimento do evento e o inicio do processamento")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public ResultadoIngestao enfileirar(String chaveIdempotencia, EventoPortariaRequest eventoPortariaRequest) {
+        String estabelecimento = EstabelecimentoContext.atual();
+        EventoPortaria evento = new EventoPortaria(
+                estabelecimento,
+                chaveIdempotencia,
+                Placa.from(eventoPortariaRequest.placa()),
+                TipoMovimentacao.valueOf(eventoPortariaRequest.tipoMovimentacao()),
+                eventoPortariaRequest.dataHora() != null ? eventoPortariaRequest.dataHora() : LocalDateTime.now(),
+                System.nanoTime()
+        );
+
+        String chave = chaveRecebida(estabelecimento, chaveIdempotencia);
+        if (chavesRecebidas.asMap().putIfAbsent(chave, Boolean.TRUE) != null) {
+            duplicados.increment();
+            return ResultadoIngestao.DUPLICADO;
+        }
+
+        AtomicInteger pendentes = pendentes(estabelecimento);
+        if (pendentes.incrementAndGet() > portariaProperties.capacidadePorEstabelecimento() || !fila.offer(evento)) {
+            pendentes.decrementAndGet();
+            chavesRecebidas.invalidate(chave);
+            recusados.increment();
+            return ResultadoIngestao.FILA_CHEIA;
+        }
+
+        aceitos.increment();
+        return ResultadoIngestao.ACEITO;
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        consumidores = Executors.newFixedThreadPool(
+                portariaProperties.consumidores(),
+                Thread.ofPlatform().name("portaria-consumidor-", 0).factory()
+        );
+        for (int i = 0; i < portariaProperties.consumidores(); i++)
+            consumidores.submit(this::consumir);
+    }
+
+    @Override
+    public void stop() {
+        ativo = false;
+        consumidores.shutdown();
+        try {
+            if (!consumidores.awaitTermination(30, TimeUnit.SECONDS))
+                log.warn("{} eventos de portaria nao processados no encerramento", fila.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    @Override
+    public int getPhase() {
+        // Encerra depois do servidor web, para drenar a fila quando nao chegam mais eventos.
+        return 0;
+    }
+
+    private void consumir() {
+        while (ativo || !fila.isEmpty()) {
+            try {
+                EventoPortaria evento = fila.poll(500, TimeUnit.MILLISECONDS);
+                if (evento != null) {
+                    try {
+                        processar(evento);
+                    } finally {
+                        pendentes(evento.estabelecimento()).decrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void processar(EventoPortaria evento) {
+        atraso.record(System.nanoTime() - evento.recebidoEmNanos(), TimeUnit.NANOSECONDS);
+
+        EstabelecimentoContext.definir(evento.estabelecimento());
+        try {
+            if (movimentacaoService.registrarMovimentacao(evento.placa(), evento.tipoMovimentacao(), evento.dataHora(), evento.chaveIdempotencia()))
+                registrados.increment();
+            else
+                duplicados.increment();
+        } catch (DataIntegrityViolationException e) {
+            // So e duplicado se a chave ja estiver gravada; outra violacao (ex.: veiculo removido entre a
+            // busca e o insert) e falha.
+            if (movimentacaoRegistrada(evento))
+                duplicados.increment();
+            else
+                falhar(evento, e);
+        } catch (RecursoNaoEncontradoException e) {
+            naoResolvidos.increment();
+            log.warn("Placa {} nao encontrada no evento {}", evento.placa().getPlaca(), evento.chaveIdempotencia());
+        } catch (RuntimeException e) {
+            falhar(evento, e);
+        } finally {
+            EstabelecimentoContext.limpar();
+        }
+    }
+
+    private boolean movimentacaoRegistrada(EventoPortaria evento) {
+        try {
+            return movimentacaoService.movimentacaoRegistrada(evento.chaveIdempotencia());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void falhar(EventoPortaria evento, RuntimeException e) {
+        // Nada foi registrado: libera a chave para que o reenvio da portaria seja aceito.
+        chavesRecebidas.invalidate(chaveRecebida(evento.estabelecimento(), evento.chaveIdempotencia()));
+        falhas.increment();
+        log.error("Falha ao registrar o evento de portaria {}", evento.chaveIdempotencia(), e);
+    }
+
+    private AtomicInteger pendentes(String estabelecimento) {
+        return pendentesPorEstabelecimento.computeIfAbsent(estabelecimento, e -> {
+            AtomicInteger pendentes = new AtomicInteger();
+            Gauge.builder("portaria.fila.tamanho.estabelecimento", pendentes, AtomicInteger::get)
+                    .tags(List.of(Tag.of("estabelecimento", e)))
+                    .description("Eventos do estabelecimento aguardando processamento")
+                    .register(meterRegistry);
+            return pendentes;
+        });
+    }
+
+    private static String chaveRecebida(String estabelecimento, String chaveIdempotencia) {
+        return estabelecimento + ":" + chaveIdempotencia;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String nome, String tag, String valor) {
+        return Counter.builder(nome).tag(tag, valor).register(meterRegistry);
+    }
+}
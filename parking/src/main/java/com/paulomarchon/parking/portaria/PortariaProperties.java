@@ -0,0 +1,27 @@
+package com.paulomarchon.parking.portaria;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code capacidadePorEstabelecimento} limita a parte da fila que um unico estabelecimento pode ocupar;
+ * sem valor configurado, vale a fila inteira (caso de um unico estabelecimento).
+ */
+@ConfigurationProperties(prefix = "parking.portaria")
+public record PortariaProperties(
+        @DefaultValue("10000") int capacidadeFila,
+        Integer capacidadePorEstabelecimento,
+        @DefaultValue("4") int consumidores,
+        @DefaultValue("10m") Duration janelaIdempotencia
+) {
+
+    public PortariaProperties {
+        if (capacidadePorEstabelecimento == null)
+            capacidadePorEstabelecimento = capacidadeFila;
+
+        if (capacidadePorEstabelecimento < 1 || capacidadePorEstabelecimento > capacidadeFila)
+            throw new IllegalArgumentException("capacidade-por-estabelecimento deve estar entre 1 e capacidade-fila (" + capacidadeFila + ")");
+    }
+}
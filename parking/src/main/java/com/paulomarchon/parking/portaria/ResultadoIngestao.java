@@ -0,0 +1,7 @@
+package com.paulomarchon.parking.portaria;
+
+public enum ResultadoIngestao {
+    ACEITO,
+    DUPLICADO,
+    FILA_CHEIA
+}
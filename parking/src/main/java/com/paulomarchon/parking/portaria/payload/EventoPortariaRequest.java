@@ -0,0 +1,13 @@
+package com.paulomarchon.parking.portaria.payload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDateTime;
+
+public record EventoPortariaRequest(
+        @NotBlank String placa,
+        @NotBlank @Pattern(regexp = "ENTRADA|SAIDA") String tipoMovimentacao,
+        LocalDateTime dataHora
+) {
+}
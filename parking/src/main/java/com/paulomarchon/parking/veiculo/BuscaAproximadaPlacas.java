@@ -0,0 +1,64 @@
+package com.paulomarchon.parking.veiculo;
+
+import com.paulomarchon.parking.config.MultiTenancyProperties;
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoContext;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantem um {@link IndicePlacas} por estabelecimento sincronizado com a tabela {@code veiculos} do seu
+ * shard: carregado na inicializacao e atualizado apos o commit de cada cadastro, alteracao de placa ou
+ * remocao. A busca nunca consulta o banco.
+ */
+@Component
+public class BuscaAproximadaPlacas {
+    private final VeiculoRepository veiculoRepository;
+    private final MultiTenancyProperties multiTenancyProperties;
+    private final Map<String, IndicePlacas> indices = new ConcurrentHashMap<>();
+
+    public BuscaAproximadaPlacas(VeiculoRepository veiculoRepository, MultiTenancyProperties multiTenancyProperties) {
+        this.veiculoRepository = veiculoRepository;
+        this.multiTenancyProperties = multiTenancyProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void carregar() {
+        Set<String> estabelecimentos = multiTenancyProperties.enabled()
+                ? multiTenancyProperties.estabelecimentos().keySet()
+                : Set.of(EstabelecimentoContext.PADRAO);
+
+        for (String estabelecimento : estabelecimentos) {
+            // O indice e publicado antes da carga para que as alteracoes confirmadas durante ela ja o atualizem.
+            IndicePlacas indicePlacas = new IndicePlacas();
+            indices.put(estabelecimento, indicePlacas);
+
+            EstabelecimentoContext.executar(estabelecimento, () -> {
+                for (PlacaVeiculo placaVeiculo : veiculoRepository.findAllProjectedBy())
+                    indicePlacas.indexar(placaVeiculo.getId(), placaVeiculo.getPlaca().getPlaca());
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void atualizar(PlacaAlteradaEvent event) {
+        indices.computeIfPresent(EstabelecimentoContext.atual(), (estabelecimento, indicePlacas) -> {
+            if (event.placa() == null)
+                indicePlacas.remover(event.veiculoId());
+            else
+                indicePlacas.indexar(event.veiculoId(), event.placa().getPlaca());
+            return indicePlacas;
+        });
+    }
+
+    public List<PlacaSemelhante> buscarSemelhantes(String placaLida, int distanciaMaxima) {
+        IndicePlacas indicePlacas = indices.get(EstabelecimentoContext.atual());
+        return indicePlacas != null ? indicePlacas.buscarSemelhantes(placaLida, distanciaMaxima) : List.of();
+    }
+}
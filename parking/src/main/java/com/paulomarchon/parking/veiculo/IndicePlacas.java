@@ -0,0 +1,169 @@
+package com.paulomarchon.parking.veiculo;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Indice em memoria para busca aproximada de placas lidas pelas cameras (OCR).
+ * <p>
+ * Cada placa e reduzida a uma chave canonica em que caracteres que o OCR costuma confundir
+ * (O/Q/D e 0, I/L e 1, B e 8, S e 5, Z e 2, G e 6) passam a ser o mesmo simbolo. Alem da chave, sao
+ * indexadas as variantes com um caractere removido: duas chaves a ate uma edicao de distancia sempre
+ * compartilham uma variante, entao a busca consulta poucos buckets em vez de percorrer todas as placas.
+ */
+public class IndicePlacas {
+    public static final int DISTANCIA_MAXIMA = 1;
+
+    private static final Map<Character, Character> CONFUSOES_OCR = Map.ofEntries(
+            Map.entry('O', '0'), Map.entry('Q', '0'), Map.entry('D', '0'),
+            Map.entry('I', '1'), Map.entry('L', '1'),
+            Map.entry('B', '8'),
+            Map.entry('S', '5'),
+            Map.entry('Z', '2'),
+            Map.entry('G', '6')
+    );
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> placasPorChave = new HashMap<>();
+    private final Map<String, Set<String>> chavesPorVariante = new HashMap<>();
+    private final Map<Integer, String> placasPorVeiculo = new HashMap<>();
+
+    public void indexar(Integer veiculoId, String placa) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(veiculoId);
+
+            String chave = chaveCanonica(placa);
+            Set<String> placas = placasPorChave.get(chave);
+            if (placas == null) {
+                placas = new HashSet<>(1);
+                placasPorChave.put(chave, placas);
+                for (String variante : variantes(chave))
+                    chavesPorVariante.computeIfAbsent(variante, v -> new HashSet<>(1)).add(chave);
+            }
+            placas.add(placa);
+            placasPorVeiculo.put(veiculoId, placa);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Integer veiculoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(veiculoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Placas cadastradas a ate {@code distanciaMaxima} edicoes da leitura, desconsiderando as confusoes
+     * de OCR, ordenadas da mais para a menos provavel.
+     */
+    public List<PlacaSemelhante> buscarSemelhantes(String placaLida, int distanciaMaxima) {
+        if (distanciaMaxima < 0 || distanciaMaxima > DISTANCIA_MAXIMA)
+            throw new IllegalArgumentException("Distancia maxima deve estar entre 0 e " + DISTANCIA_MAXIMA);
+
+        String lida = normalizar(placaLida);
+        String chave = chaveCanonica(lida);
+        List<PlacaSemelhante> encontradas = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Set<String> candidatas = new HashSet<>();
+            if (distanciaMaxima == 0) {
+                candidatas.add(chave);
+            } else {
+                for (String variante : variantes(chave))
+                    candidatas.addAll(chavesPorVariante.getOrDefault(variante, Set.of()));
+            }
+
+            for (String candidata : candidatas) {
+                Set<String> placas = placasPorChave.get(candidata);
+                if (placas == null)
+                    continue;
+
+                int distancia = distancia(chave, candidata);
+                if (distancia <= distanciaMaxima) {
+                    for (String placa : placas)
+                        encontradas.add(new PlacaSemelhante(placa, distancia));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        encontradas.sort(Comparator.comparingInt(PlacaSemelhante::distancia)
+                .thenComparingInt(semelhante -> distancia(lida, normalizar(semelhante.placa())))
+                .thenComparing(PlacaSemelhante::placa));
+        return encontradas;
+    }
+
+    private void removerSemLock(Integer veiculoId) {
+        String placa = placasPorVeiculo.remove(veiculoId);
+        if (placa == null)
+            return;
+
+        String chave = chaveCanonica(placa);
+        Set<String> placas = placasPorChave.get(chave);
+        if (placas == null)
+            return;
+
+        placas.remove(placa);
+        if (placas.isEmpty()) {
+            placasPorChave.remove(chave);
+            for (String variante : variantes(chave)) {
+                Set<String> chaves = chavesPorVariante.get(variante);
+                chaves.remove(chave);
+                if (chaves.isEmpty())
+                    chavesPorVariante.remove(variante);
+            }
+        }
+    }
+
+    private static Set<String> variantes(String chave) {
+        Set<String> variantes = new HashSet<>();
+        variantes.add(chave);
+        for (int i = 0; i < chave.length(); i++)
+            variantes.add(chave.substring(0, i) + chave.substring(i + 1));
+        return variantes;
+    }
+
+    static String normalizar(String placa) {
+        StringBuilder normalizada = new StringBuilder(placa.length());
+        for (char c : placa.toCharArray()) {
+            if (Character.isLetterOrDigit(c))
+                normalizada.append(Character.toUpperCase(c));
+        }
+        return normalizada.toString();
+    }
+
+    static String chaveCanonica(String placa) {
+        String normalizada = normalizar(placa);
+        StringBuilder chave = new StringBuilder(normalizada.length());
+        for (char c : normalizada.toCharArray())
+            chave.append(CONFUSOES_OCR.getOrDefault(c, c));
+        return chave.toString();
+    }
+
+    static int distancia(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++)
+            anterior[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substituicao = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                atual[j] = Math.min(substituicao, Math.min(anterior[j] + 1, atual[j - 1] + 1));
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return anterior[b.length()];
+    }
+}
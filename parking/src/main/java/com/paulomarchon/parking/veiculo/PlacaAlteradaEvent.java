@@ -0,0 +1,15 @@
+package com.paulomarchon.parking.veiculo;
+
+/**
+ * Publicado pelo {@link VeiculoService} quando a placa de um veiculo passa a existir, muda ou deixa de
+ * existir ({@code placa} nula).
+ */
+public record PlacaAlteradaEvent(
+        Integer veiculoId,
+        Placa placa
+) {
+
+    static PlacaAlteradaEvent removida(Integer veiculoId) {
+        return new PlacaAlteradaEvent(veiculoId, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.paulomarchon.parking.veiculo;
+
+public record PlacaSemelhante(
+        String placa,
+        int distancia
+) {
+}
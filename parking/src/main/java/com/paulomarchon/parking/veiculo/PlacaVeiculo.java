@@ -0,0 +1,6 @@
+package com.paulomarchon.parking.veiculo;
+
+public interface PlacaVeiculo {
+    Integer getId();
+    Placa getPlaca();
+}
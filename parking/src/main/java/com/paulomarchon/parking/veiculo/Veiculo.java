@@ -1,10 +1,20 @@
 package com.paulomarchon.parking.veiculo;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "veiculos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Veiculo.CACHE_REGION)
+@NaturalIdCache(region = Veiculo.NATURAL_ID_CACHE_REGION)
 public class Veiculo {
+    public static final String CACHE_REGION = "veiculos";
+    public static final String NATURAL_ID_CACHE_REGION = "veiculos-placa";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -18,6 +28,7 @@ public class Veiculo {
     @Column(nullable = false)
     private String cor;
 
+    @NaturalId(mutable = true)
     @Embedded
     private Placa placa;
 
@@ -51,6 +62,10 @@ public class Veiculo {
 
     }
 
+    public Integer getId() {
+        return id;
+    }
+
     public String getMarca() {
         return marca;
     }
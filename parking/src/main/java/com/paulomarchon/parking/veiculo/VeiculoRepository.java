@@ -1,10 +1,18 @@
 package com.paulomarchon.parking.veiculo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.Optional;
+import java.util.List;
+
+public interface VeiculoRepository extends JpaRepository<Veiculo, Integer>, VeiculoRepositoryCustom {
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Veiculo> findAll();
 
-public interface VeiculoRepository extends JpaRepository<Veiculo, Integer> {
-    Optional<Veiculo> findByPlaca(Placa placa);
     boolean existsByPlaca(Placa placa);
+
+    List<PlacaVeiculo> findAllProjectedBy();
 }
@@ -0,0 +1,7 @@
+package com.paulomarchon.parking.veiculo;
+
+import java.util.Optional;
+
+public interface VeiculoRepositoryCustom {
+    Optional<Veiculo> findByPlaca(Placa placa);
+}
@@ -0,0 +1,26 @@
+package com.paulomarchon.parking.veiculo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Busca por placa via natural id, para que a consulta seja resolvida pelo cache de segundo nivel
+ * ({@link Veiculo#NATURAL_ID_CACHE_REGION}) em vez de ir ao banco a cada chamada. A transacao mantem a
+ * sessao aberta entre o {@code unwrap} e o {@code loadOptional} quando nao ha outra em andamento.
+ */
+class VeiculoRepositoryCustomImpl implements VeiculoRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Veiculo> findByPlaca(Placa placa) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Veiculo.class)
+                .loadOptional(placa);
+    }
+}
@@ -4,17 +4,24 @@ import com.paulomarchon.parking.exception.RecursoDuplicadoException;
 import com.paulomarchon.parking.exception.RecursoNaoEncontradoException;
 import com.paulomarchon.parking.veiculo.payload.AtualizarVeiculoRequest;
 import com.paulomarchon.parking.veiculo.payload.CadastroVeiculoRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class VeiculoService {
     private final VeiculoRepository veiculoRepository;
+    private final BuscaAproximadaPlacas buscaAproximadaPlacas;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VeiculoService(VeiculoRepository veiculoRepository) {
+    public VeiculoService(VeiculoRepository veiculoRepository, BuscaAproximadaPlacas buscaAproximadaPlacas, ApplicationEventPublisher eventPublisher) {
         this.veiculoRepository = veiculoRepository;
+        this.buscaAproximadaPlacas = buscaAproximadaPlacas;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<VeiculoDto> buscarTodosVeiculos() {
@@ -41,6 +48,28 @@ public class VeiculoService {
 
     }
 
+    public List<PlacaSemelhante> buscarPlacasSemelhantes(String placaLida, int distanciaMaxima) {
+        return buscaAproximadaPlacas.buscarSemelhantes(placaLida, distanciaMaxima);
+    }
+
+    /**
+     * Resolve uma placa lida por camera. Sem correspondencia exata, aceita a unica placa cadastrada que
+     * difere da leitura apenas por caracteres que o OCR confunde (ex.: O/0, I/1, B/8).
+     */
+    public Veiculo resolverVeiculoPorPlaca(Placa placa) {
+        return veiculoRepository.findByPlaca(placa)
+                .or(() -> {
+                    List<PlacaSemelhante> semelhantes = buscaAproximadaPlacas.buscarSemelhantes(placa.getPlaca(), 0);
+                    if (semelhantes.size() != 1)
+                        return Optional.empty();
+                    return veiculoRepository.findByPlaca(Placa.from(semelhantes.getFirst().placa()));
+                })
+                .orElseThrow(() -> new RecursoNaoEncontradoException(
+                        "Veiculo nao encontrado!"
+                ));
+    }
+
+    @Transactional
     public VeiculoDto cadastrarVeiculo(CadastroVeiculoRequest cadastroVeiculoRequest) {
         Placa placa = Placa.from(cadastroVeiculoRequest.placa());
 
@@ -58,10 +87,12 @@ public class VeiculoService {
         );
 
         veiculoRepository.save(veiculo);
+        eventPublisher.publishEvent(new PlacaAlteradaEvent(veiculo.getId(), placa));
 
         return VeiculoDto.from(veiculo);
     }
 
+    @Transactional
     public void atualizarVeiculo(Integer veiculoId, AtualizarVeiculoRequest atualizarVeiculoRequest) {
         Veiculo veiculo = veiculoRepository.findById(veiculoId)
                 .orElseThrow(() -> new RecursoNaoEncontradoException(
@@ -69,6 +100,7 @@ public class VeiculoService {
                 ));
 
         boolean alteracao = false;
+        boolean placaAlterada = false;
 
         if (atualizarVeiculoRequest.marca() != null && !atualizarVeiculoRequest.marca().equals(veiculo.getMarca())) {
             veiculo.setMarca(atualizarVeiculoRequest.marca());
@@ -92,6 +124,7 @@ public class VeiculoService {
             }
             veiculo.setPlaca(placa);
             alteracao = true;
+            placaAlterada = true;
         }
 
         if (atualizarVeiculoRequest.tipoVeiculo() != null && !atualizarVeiculoRequest.tipoVeiculo().equals(veiculo.getTipoVeiculo().name())) {
@@ -104,12 +137,17 @@ public class VeiculoService {
             throw new RuntimeException("Nenhuma alteracao encontrada!");
 
         veiculoRepository.save(veiculo);
+
+        if (placaAlterada)
+            eventPublisher.publishEvent(new PlacaAlteradaEvent(veiculoId, veiculo.getPlaca()));
     }
 
+    @Transactional
     public void removerVeiculo(Integer veiculoId) {
         if (!veiculoRepository.existsById(veiculoId))
             throw new RecursoNaoEncontradoException("Veiculo nao encontrado!");
 
         veiculoRepository.deleteById(veiculoId);
+        eventPublisher.publishEvent(PlacaAlteradaEvent.removida(veiculoId));
     }
 }
@@ -0,0 +1,9 @@
+CREATE TABLE movimentacoes (
+    id SERIAL PRIMARY KEY,
+    veiculo_id INTEGER NOT NULL REFERENCES veiculos (id) ON DELETE CASCADE,
+    tipo_movimentacao VARCHAR NOT NULL,
+    data_hora TIMESTAMP NOT NULL,
+    chave_idempotencia VARCHAR NOT NULL UNIQUE
+);
+
+CREATE INDEX idx_movimentacoes_veiculo_id ON movimentacoes (veiculo_id);
@@ -0,0 +1,109 @@
+package com.paulomarchon.parking.benchmark;
+
+import com.paulomarchon.parking.ParkingApplication;
+import com.paulomarchon.parking.veiculo.VeiculoService;
+import com.paulomarchon.parking.veiculo.payload.CadastroVeiculoRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compara {@code cadastrarVeiculo} e {@code buscarTodosVeiculos} entre o perfil padrao e o perfil
+ * {@code production}. O cache de segundo nivel fica desligado nos dois cenarios para medir o caminho JDBC.
+ * Os perfis se alternam por varias rodadas, com a tabela truncada antes de cada uma e uma rodada inicial
+ * descartada, para que a ordem e o estado deixado pela rodada anterior nao favorecam nenhum dos dois.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+public class CadastroVeiculoBenchmark {
+    private static final int RODADAS = 4;
+    private static final int AQUECIMENTO = 500;
+    private static final int CADASTROS = 5_000;
+    private static final int LISTAGENS = 200;
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:16-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @Test
+    @DisplayName("Cadastro e listagem de veiculos no perfil padrao e no perfil production")
+    void cadastroEListagem_PerfilPadraoEProduction() {
+        medir("default");
+        medir("production");
+
+        List<Cronometro.Medicao[]> padrao = new ArrayList<>();
+        List<Cronometro.Medicao[]> production = new ArrayList<>();
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            boolean padraoPrimeiro = rodada % 2 == 0;
+            Cronometro.Medicao[] primeira = medir(padraoPrimeiro ? "default" : "production");
+            Cronometro.Medicao[] segunda = medir(padraoPrimeiro ? "production" : "default");
+            padrao.add(padraoPrimeiro ? primeira : segunda);
+            production.add(padraoPrimeiro ? segunda : primeira);
+        }
+
+        System.out.printf("production/default cadastrarVeiculo p50: %.2f%n", razao(production, padrao, 0));
+        System.out.printf("production/default buscarTodosVeiculos p50: %.2f%n", razao(production, padrao, 1));
+    }
+
+    private Cronometro.Medicao[] medir(String perfil) {
+        try (ConfigurableApplicationContext context = iniciar(perfil)) {
+            VeiculoService veiculoService = context.getBean(VeiculoService.class);
+            context.getBean(JdbcTemplate.class).execute("TRUNCATE veiculos RESTART IDENTITY CASCADE");
+
+            AtomicInteger sequencia = new AtomicInteger();
+            Cronometro.Medicao cadastro = Cronometro.medir("cadastrarVeiculo (" + perfil + ")", AQUECIMENTO, CADASTROS,
+                    () -> veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest(
+                            "marca", "modelo", "cor", String.format("BEN%05d", sequencia.getAndIncrement()), "CARRO")));
+
+            Cronometro.Medicao listagem = Cronometro.medir("buscarTodosVeiculos (" + perfil + ")", LISTAGENS / 10, LISTAGENS,
+                    veiculoService::buscarTodosVeiculos);
+
+            return new Cronometro.Medicao[]{cadastro, listagem};
+        }
+    }
+
+    private static double razao(List<Cronometro.Medicao[]> production, List<Cronometro.Medicao[]> padrao, int operacao) {
+        return mediaP50(production, operacao) / mediaP50(padrao, operacao);
+    }
+
+    private static double mediaP50(List<Cronometro.Medicao[]> rodadas, int operacao) {
+        return rodadas.stream()
+                .mapToDouble(medicoes -> medicoes[operacao].percentilMicros(50))
+                .average()
+                .orElseThrow();
+    }
+
+    private static ConfigurableApplicationContext iniciar(String perfil) {
+        return new SpringApplicationBuilder(ParkingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(perfil)
+                .properties(
+                        "spring.docker.compose.enabled=false",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+                )
+                .run();
+    }
+}
@@ -0,0 +1,47 @@
+package com.paulomarchon.parking.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Medicao simples de latencia para os benchmarks ({@code mvn test -Pbenchmark}).
+ */
+public final class Cronometro {
+
+    private Cronometro() {
+    }
+
+    public static Medicao medir(String nome, int aquecimento, int iteracoes, Runnable operacao) {
+        for (int i = 0; i < aquecimento; i++)
+            operacao.run();
+
+        long[] amostras = new long[iteracoes];
+        for (int i = 0; i < iteracoes; i++) {
+            long inicio = System.nanoTime();
+            operacao.run();
+            amostras[i] = System.nanoTime() - inicio;
+        }
+
+        Arrays.sort(amostras);
+        Medicao medicao = new Medicao(nome, amostras);
+        System.out.println(medicao);
+        return medicao;
+    }
+
+    public record Medicao(String nome, long[] amostras) {
+
+        public double mediaMicros() {
+            return Arrays.stream(amostras).average().orElse(0) / 1_000;
+        }
+
+        public double percentilMicros(double percentil) {
+            int indice = (int) Math.ceil(percentil / 100 * amostras.length) - 1;
+            return amostras[Math.max(indice, 0)] / 1_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-45s n=%-6d media=%9.1fus p50=%9.1fus p99=%9.1fus",
+                    nome, amostras.length, mediaMicros(), percentilMicros(50), percentilMicros(99));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.paulomarchon.parking.benchmark;
+
+import com.paulomarchon.parking.veiculo.IndicePlacas;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latencia da busca aproximada de placas em um indice com 100 mil placas.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+public class IndicePlacasBenchmark {
+    private static final int PLACAS = 100_000;
+    private static final String LETRAS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Test
+    @DisplayName("Busca aproximada de placas lidas com erro de OCR")
+    void buscarSemelhantes_CemMilPlacas() {
+        IndicePlacas indicePlacas = new IndicePlacas();
+        String[] placas = new String[PLACAS];
+        for (int i = 0; i < PLACAS; i++) {
+            placas[i] = placaAleatoria();
+            indicePlacas.indexar(i, placas[i]);
+        }
+
+        Cronometro.Medicao distanciaZero = Cronometro.medir("buscarSemelhantes (distancia 0)", 1_000, 10_000,
+                () -> indicePlacas.buscarSemelhantes(lidaComErroDeOcr(placas), 0));
+        Cronometro.medir("buscarSemelhantes (distancia 1)", 1_000, 10_000,
+                () -> indicePlacas.buscarSemelhantes(lidaComErroDeOcr(placas), 1));
+
+        assertThat(distanciaZero.percentilMicros(50)).isLessThan(1_000);
+    }
+
+    private static String lidaComErroDeOcr(String[] placas) {
+        return placas[ThreadLocalRandom.current().nextInt(placas.length)]
+                .replace('O', '0')
+                .replace('I', '1')
+                .replace('B', '8');
+    }
+
+    private static String placaAleatoria() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder placa = new StringBuilder(7);
+        for (int i = 0; i < 3; i++)
+            placa.append(LETRAS.charAt(random.nextInt(LETRAS.length())));
+        for (int i = 0; i < 4; i++)
+            placa.append(random.nextInt(10));
+        return placa.toString();
+    }
+}
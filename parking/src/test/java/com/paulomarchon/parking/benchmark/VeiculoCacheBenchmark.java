@@ -0,0 +1,91 @@
+package com.paulomarchon.parking.benchmark;
+
+import com.paulomarchon.parking.ParkingApplication;
+import com.paulomarchon.parking.veiculo.Placa;
+import com.paulomarchon.parking.veiculo.VeiculoRepository;
+import com.paulomarchon.parking.veiculo.VeiculoService;
+import com.paulomarchon.parking.veiculo.payload.CadastroVeiculoRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a latencia de {@code buscarVeiculoPorId}/{@code buscarVeiculoPorPlaca} com o cache de segundo
+ * nivel ligado e desligado, sobre o mesmo banco. Executar com {@code mvn test -Pbenchmark}.
+ */
+public class VeiculoCacheBenchmark {
+    private static final int VEICULOS = 500;
+    private static final int AQUECIMENTO = 2_000;
+    private static final int ITERACOES = 20_000;
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:16-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @Test
+    @DisplayName("Busca de veiculo com e sem cache de segundo nivel")
+    void buscaDeVeiculo_ComESemCache() {
+        Cronometro.Medicao semCache = medirBuscaPorPlaca(false);
+        Cronometro.Medicao comCache = medirBuscaPorPlaca(true);
+
+        assertThat(comCache.percentilMicros(50)).isLessThan(semCache.percentilMicros(50));
+    }
+
+    private Cronometro.Medicao medirBuscaPorPlaca(boolean cache) {
+        try (ConfigurableApplicationContext context = iniciar(cache)) {
+            VeiculoService veiculoService = context.getBean(VeiculoService.class);
+            VeiculoRepository veiculoRepository = context.getBean(VeiculoRepository.class);
+
+            veiculoRepository.deleteAll();
+            for (int i = 0; i < VEICULOS; i++)
+                veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest("marca", "modelo", "cor", placa(i), "CARRO"));
+
+            List<Integer> ids = veiculoRepository.findAll().stream().map(v -> v.getId()).toList();
+            String cenario = cache ? "com cache" : "sem cache";
+
+            Cronometro.medir("buscarVeiculoPorId (" + cenario + ")", AQUECIMENTO, ITERACOES,
+                    () -> veiculoService.buscarVeiculoPorId(ids.get(ThreadLocalRandom.current().nextInt(ids.size()))));
+
+            return Cronometro.medir("buscarVeiculoPorPlaca (" + cenario + ")", AQUECIMENTO, ITERACOES,
+                    () -> veiculoService.buscarVeiculoPorPlaca(Placa.from(placa(ThreadLocalRandom.current().nextInt(VEICULOS)))));
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(boolean cache) {
+        return new SpringApplicationBuilder(ParkingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.docker.compose.enabled=false",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + cache
+                )
+                .run();
+    }
+
+    private static String placa(int i) {
+        return String.format("BEN%04d", i);
+    }
+}
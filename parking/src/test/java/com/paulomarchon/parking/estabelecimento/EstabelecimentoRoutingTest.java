@@ -0,0 +1,157 @@
+package com.paulomarchon.parking.estabelecimento;
+
+import com.paulomarchon.parking.exception.RecursoNaoEncontradoException;
+import com.paulomarchon.parking.veiculo.Placa;
+import com.paulomarchon.parking.veiculo.VeiculoRepository;
+import com.paulomarchon.parking.veiculo.VeiculoService;
+import com.paulomarchon.parking.veiculo.payload.CadastroVeiculoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class EstabelecimentoRoutingTest {
+
+    @Autowired
+    VeiculoService veiculoService;
+    @Autowired
+    VeiculoRepository veiculoRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    static PostgreSQLContainer<?> shardA = new PostgreSQLContainer<>(
+            "postgres:16-alpine"
+    );
+    static PostgreSQLContainer<?> shardB = new PostgreSQLContainer<>(
+            "postgres:16-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        shardA.start();
+        shardB.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        shardA.stop();
+        shardB.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("parking.multitenancy.enabled", () -> "true");
+        registry.add("parking.multitenancy.estabelecimento-padrao", () -> "loja-a");
+        registrarShard(registry, "loja-a", shardA, null);
+        registrarShard(registry, "loja-b", shardB, null);
+        registrarShard(registry, "loja-c", shardB, "loja_c");
+    }
+
+    private static void registrarShard(DynamicPropertyRegistry registry, String estabelecimento, PostgreSQLContainer<?> postgres, String schema) {
+        String prefixo = "parking.multitenancy.estabelecimentos." + estabelecimento;
+        registry.add(prefixo + ".url", postgres::getJdbcUrl);
+        registry.add(prefixo + ".username", postgres::getUsername);
+        registry.add(prefixo + ".password", postgres::getPassword);
+        registry.add(prefixo + ".maximum-pool-size", () -> "2");
+        if (schema != null)
+            registry.add(prefixo + ".schema", () -> schema);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        executar(shardA, "TRUNCATE public.veiculos RESTART IDENTITY CASCADE");
+        executar(shardB, "TRUNCATE public.veiculos RESTART IDENTITY CASCADE");
+        executar(shardB, "TRUNCATE loja_c.veiculos RESTART IDENTITY CASCADE");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Deve gravar os veiculos de cada estabelecimento apenas no seu shard")
+    void cadastrarVeiculo_DeveGravarNoShardDoEstabelecimento() throws SQLException {
+        EstabelecimentoContext.executar("loja-a", () -> veiculoService.cadastrarVeiculo(
+                new CadastroVeiculoRequest("marca a", "modelo", "cor", "ABC1234", "CARRO")));
+        EstabelecimentoContext.executar("loja-c", () -> veiculoService.cadastrarVeiculo(
+                new CadastroVeiculoRequest("marca c", "modelo", "cor", "ABC1234", "CARRO")));
+
+        assertThat(contarVeiculos(shardA, "public")).isEqualTo(1);
+        assertThat(contarVeiculos(shardB, "public")).isZero();
+        assertThat(contarVeiculos(shardB, "loja_c")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter o cache separado por estabelecimento para veiculos com o mesmo id e placa")
+    void buscarVeiculo_DeveRetornarVeiculoDoEstabelecimento_MesmoComMesmoIdEPlaca() {
+        Placa placa = Placa.from("ABC1234");
+        EstabelecimentoContext.executar("loja-a", () -> veiculoService.cadastrarVeiculo(
+                new CadastroVeiculoRequest("marca a", "modelo", "cor", placa.getPlaca(), "CARRO")));
+        EstabelecimentoContext.executar("loja-b", () -> veiculoService.cadastrarVeiculo(
+                new CadastroVeiculoRequest("marca b", "modelo", "cor", placa.getPlaca(), "MOTO")));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(EstabelecimentoContext.executar("loja-a", () -> veiculoService.buscarVeiculoPorPlaca(placa).marca()))
+                    .isEqualTo("marca a");
+            assertThat(EstabelecimentoContext.executar("loja-b", () -> veiculoService.buscarVeiculoPorPlaca(placa).marca()))
+                    .isEqualTo("marca b");
+        }
+
+        Integer idLojaA = EstabelecimentoContext.executar("loja-a", () -> veiculoRepository.findByPlaca(placa).orElseThrow().getId());
+        Integer idLojaB = EstabelecimentoContext.executar("loja-b", () -> veiculoRepository.findByPlaca(placa).orElseThrow().getId());
+        assertThat(idLojaA).isEqualTo(idLojaB);
+        assertThat(EstabelecimentoContext.executar("loja-a", () -> veiculoService.buscarVeiculoPorId(idLojaA).marca()))
+                .isEqualTo("marca a");
+        assertThat(EstabelecimentoContext.executar("loja-b", () -> veiculoService.buscarVeiculoPorId(idLojaB).marca()))
+                .isEqualTo("marca b");
+    }
+
+    @Test
+    @DisplayName("Deve buscar placas semelhantes apenas entre os veiculos do estabelecimento")
+    void buscarPlacasSemelhantes_DeveConsiderarApenasEstabelecimentoAtual() {
+        EstabelecimentoContext.executar("loja-a", () -> veiculoService.cadastrarVeiculo(
+                new CadastroVeiculoRequest("marca", "modelo", "cor", "OIB5678", "CARRO")));
+
+        assertThat(EstabelecimentoContext.executar("loja-a", () -> veiculoService.buscarPlacasSemelhantes("018-5678", 0)))
+                .hasSize(1);
+        assertThat(EstabelecimentoContext.executar("loja-b", () -> veiculoService.buscarPlacasSemelhantes("018-5678", 0)))
+                .isEmpty();
+        assertThatThrownBy(() -> EstabelecimentoContext.executar("loja-b", () -> veiculoService.resolverVeiculoPorPlaca(Placa.from("0IB5678"))))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve publicar as metricas do pool de conexoes de cada estabelecimento")
+    void pools_DevemPublicarMetricasPorEstabelecimento() {
+        for (String estabelecimento : new String[]{"loja-a", "loja-b", "loja-c"}) {
+            assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "estabelecimento-" + estabelecimento).gauge().value())
+                    .isEqualTo(2);
+        }
+    }
+
+    private static void executar(PostgreSQLContainer<?> postgres, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            connection.createStatement().execute(sql);
+        }
+    }
+
+    private static int contarVeiculos(PostgreSQLContainer<?> postgres, String schema) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT count(*) FROM " + schema + ".veiculos")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.paulomarchon.parking.portaria;
+
+import com.paulomarchon.parking.estabelecimento.EstabelecimentoContext;
+import com.paulomarchon.parking.exception.RecursoNaoEncontradoException;
+import com.paulomarchon.parking.movimentacao.MovimentacaoService;
+import com.paulomarchon.parking.movimentacao.TipoMovimentacao;
+import com.paulomarchon.parking.portaria.payload.EventoPortariaRequest;
+import com.paulomarchon.parking.veiculo.Placa;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FilaEventosPortariaTest {
+    @Mock
+    private MovimentacaoService movimentacaoService;
+
+    private MeterRegistry meterRegistry;
+
+    private FilaEventosPortaria filaEventosPortaria;
+
+    private final EventoPortariaRequest eventoRequest = new EventoPortariaRequest("ABC1234", "ENTRADA", LocalDateTime.now());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filaEventosPortaria = new FilaEventosPortaria(
+                movimentacaoService,
+                new PortariaProperties(2, null, 1, Duration.ofMinutes(10)),
+                meterRegistry
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (filaEventosPortaria.isRunning())
+            filaEventosPortaria.stop();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o evento e refletir o tamanho da fila nas metricas")
+    void enfileirar_DeveAceitarEvento_QuandoHouverEspacoNaFila() {
+        ResultadoIngestao resultado = filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        assertThat(resultado).isEqualTo(ResultadoIngestao.ACEITO);
+        assertThat(meterRegistry.get("portaria.fila.tamanho").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o reenvio de um evento com a mesma chave de idempotencia")
+    void enfileirar_DeveRetornarDuplicado_QuandoChaveJaRecebida() {
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        ResultadoIngestao resultado = filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        assertThat(resultado).isEqualTo(ResultadoIngestao.DUPLICADO);
+        assertThat(meterRegistry.get("portaria.fila.tamanho").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o evento quando a fila estiver cheia e aceitar o reenvio depois")
+    void enfileirar_DeveRetornarFilaCheia_QuandoFilaEstiverCheia() {
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+        filaEventosPortaria.enfileirar("chave-2", eventoRequest);
+
+        ResultadoIngestao resultado = filaEventosPortaria.enfileirar("chave-3", eventoRequest);
+
+        assertThat(resultado).isEqualTo(ResultadoIngestao.FILA_CHEIA);
+        assertThat(meterRegistry.get("portaria.eventos.recebidos").tag("resultado", "fila_cheia").counter().count()).isEqualTo(1);
+
+        filaEventosPortaria.start();
+        verify(movimentacaoService, timeout(1_000).times(2)).registrarMovimentacao(any(), any(), any(), any());
+        aguardarEventosPendentes("padrao", 0);
+
+        assertThat(filaEventosPortaria.enfileirar("chave-3", eventoRequest)).isEqualTo(ResultadoIngestao.ACEITO);
+    }
+
+    @Test
+    @DisplayName("Deve registrar a movimentacao dos eventos enfileirados")
+    void consumidores_DevemRegistrarMovimentacao() {
+        when(movimentacaoService.registrarMovimentacao(any(), any(), any(), any())).thenReturn(true);
+        filaEventosPortaria.start();
+
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        verify(movimentacaoService, timeout(1_000)).registrarMovimentacao(
+                Placa.from("ABC1234"), TipoMovimentacao.ENTRADA, eventoRequest.dataHora(), "chave-1");
+    }
+
+    @Test
+    @DisplayName("Deve contabilizar o evento cuja placa nao foi encontrada")
+    void processar_DeveContabilizarPlacaNaoEncontrada() {
+        when(movimentacaoService.registrarMovimentacao(any(), any(), any(), eq("chave-1")))
+                .thenThrow(new RecursoNaoEncontradoException("Veiculo nao encontrado!"));
+
+        filaEventosPortaria.processar(new EventoPortaria("padrao", "chave-1", Placa.from("ABC1234"), TipoMovimentacao.ENTRADA, LocalDateTime.now(), System.nanoTime()));
+
+        assertThat(meterRegistry.get("portaria.eventos.processados").tag("resultado", "placa_nao_encontrada").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("portaria.eventos.atraso").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar o reenvio do evento quando o registro da movimentacao falhar")
+    void processar_DeveLiberarChave_QuandoRegistroFalhar() {
+        when(movimentacaoService.registrarMovimentacao(any(), any(), any(), eq("chave-1")))
+                .thenThrow(new IllegalStateException("Banco indisponivel"));
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        filaEventosPortaria.processar(new EventoPortaria("padrao", "chave-1", Placa.from("ABC1234"), TipoMovimentacao.ENTRADA, LocalDateTime.now(), System.nanoTime()));
+
+        assertThat(meterRegistry.get("portaria.eventos.processados").tag("resultado", "falha").counter().count()).isEqualTo(1);
+        assertThat(filaEventosPortaria.enfileirar("chave-1", eventoRequest)).isEqualTo(ResultadoIngestao.ACEITO);
+    }
+
+    @Test
+    @DisplayName("Deve recusar apenas os eventos do estabelecimento que ocupou a sua parte da fila")
+    void enfileirar_DeveRetornarFilaCheia_SomenteParaEstabelecimentoNoLimite() {
+        filaEventosPortaria = new FilaEventosPortaria(
+                movimentacaoService,
+                new PortariaProperties(3, 2, 1, Duration.ofMinutes(10)),
+                meterRegistry
+        );
+
+        EstabelecimentoContext.executar("loja-a", () -> {
+            assertThat(filaEventosPortaria.enfileirar("chave-1", eventoRequest)).isEqualTo(ResultadoIngestao.ACEITO);
+            assertThat(filaEventosPortaria.enfileirar("chave-2", eventoRequest)).isEqualTo(ResultadoIngestao.ACEITO);
+            assertThat(filaEventosPortaria.enfileirar("chave-3", eventoRequest)).isEqualTo(ResultadoIngestao.FILA_CHEIA);
+        });
+
+        assertThat(EstabelecimentoContext.executar("loja-b", () -> filaEventosPortaria.enfileirar("chave-3", eventoRequest)))
+                .isEqualTo(ResultadoIngestao.ACEITO);
+        assertThat(meterRegistry.get("portaria.fila.tamanho.estabelecimento").tag("estabelecimento", "loja-a").gauge().value())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve contabilizar como duplicado a violacao de integridade quando a chave ja estiver registrada")
+    void processar_DeveContabilizarDuplicado_QuandoChaveJaRegistrada() {
+        when(movimentacaoService.registrarMovimentacao(any(), any(), any(), eq("chave-1")))
+                .thenThrow(new DataIntegrityViolationException("chave_idempotencia"));
+        when(movimentacaoService.movimentacaoRegistrada("chave-1")).thenReturn(true);
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        filaEventosPortaria.processar(new EventoPortaria("padrao", "chave-1", Placa.from("ABC1234"), TipoMovimentacao.ENTRADA, LocalDateTime.now(), System.nanoTime()));
+
+        assertThat(meterRegistry.get("portaria.eventos.recebidos").tag("resultado", "duplicado").counter().count()).isEqualTo(1);
+        assertThat(filaEventosPortaria.enfileirar("chave-1", eventoRequest)).isEqualTo(ResultadoIngestao.DUPLICADO);
+    }
+
+    @Test
+    @DisplayName("Deve contabilizar como falha e liberar a chave em outra violacao de integridade")
+    void processar_DeveLiberarChave_QuandoViolacaoNaoForDeChaveDuplicada() {
+        when(movimentacaoService.registrarMovimentacao(any(), any(), any(), eq("chave-1")))
+                .thenThrow(new DataIntegrityViolationException("veiculo_id"));
+        when(movimentacaoService.movimentacaoRegistrada("chave-1")).thenReturn(false);
+        filaEventosPortaria.enfileirar("chave-1", eventoRequest);
+
+        filaEventosPortaria.processar(new EventoPortaria("padrao", "chave-1", Placa.from("ABC1234"), TipoMovimentacao.ENTRADA, LocalDateTime.now(), System.nanoTime()));
+
+        assertThat(meterRegistry.get("portaria.eventos.processados").tag("resultado", "falha").counter().count()).isEqualTo(1);
+        assertThat(filaEventosPortaria.enfileirar("chave-1", eventoRequest)).isEqualTo(ResultadoIngestao.ACEITO);
+    }
+
+    @Test
+    @DisplayName("Deve usar a fila inteira como limite do estabelecimento quando nao houver limite configurado")
+    void portariaProperties_DeveUsarCapacidadeDaFila_QuandoLimitePorEstabelecimentoAusente() {
+        assertThat(new PortariaProperties(10, null, 1, Duration.ofMinutes(10)).capacidadePorEstabelecimento()).isEqualTo(10);
+        assertThatThrownBy(() -> new PortariaProperties(10, 11, 1, Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void aguardarEventosPendentes(String estabelecimento, int quantidade) {
+        long limite = System.currentTimeMillis() + 1_000;
+        while (meterRegistry.get("portaria.fila.tamanho.estabelecimento").tag("estabelecimento", estabelecimento).gauge().value() != quantidade
+                && System.currentTimeMillis() < limite)
+            Thread.onSpinWait();
+    }
+}
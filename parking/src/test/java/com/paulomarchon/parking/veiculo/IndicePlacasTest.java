@@ -0,0 +1,69 @@
+package com.paulomarchon.parking.veiculo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IndicePlacasTest {
+
+    private IndicePlacas indicePlacas;
+
+    @BeforeEach
+    void setUp() {
+        indicePlacas = new IndicePlacas();
+        indicePlacas.indexar(1, "ABC1234");
+        indicePlacas.indexar(2, "OIB5678");
+        indicePlacas.indexar(3, "XYZ9876");
+    }
+
+    @Test
+    @DisplayName("Deve encontrar a placa quando a leitura diferir apenas por confusoes de OCR")
+    void buscarSemelhantes_DeveEncontrarPlaca_QuandoLeituraTiverConfusaoDeOcr() {
+        List<PlacaSemelhante> resultado = indicePlacas.buscarSemelhantes("018-5678", 0);
+
+        assertThat(resultado).containsExactly(new PlacaSemelhante("OIB5678", 0));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar as placas semelhantes pela distancia de edicao")
+    void buscarSemelhantes_DeveOrdenarPorDistancia() {
+        indicePlacas.indexar(4, "ABC1235");
+
+        List<PlacaSemelhante> resultado = indicePlacas.buscarSemelhantes("A8C1234", 1);
+
+        assertThat(resultado).containsExactly(
+                new PlacaSemelhante("ABC1234", 0),
+                new PlacaSemelhante("ABC1235", 1)
+        );
+    }
+
+    @Test
+    @DisplayName("Deve retornar vazio quando nenhuma placa estiver dentro da distancia maxima")
+    void buscarSemelhantes_DeveRetornarVazio_QuandoNenhumaPlacaProxima() {
+        assertThat(indicePlacas.buscarSemelhantes("KKK0000", 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve refletir a alteracao e a remocao de placas")
+    void indexarERemover_DevemAtualizarIndice() {
+        indicePlacas.indexar(1, "DEF4321");
+        indicePlacas.remover(3);
+
+        assertThat(indicePlacas.buscarSemelhantes("ABC1234", 0)).isEmpty();
+        assertThat(indicePlacas.buscarSemelhantes("DEF4321", 0)).containsExactly(new PlacaSemelhante("DEF4321", 0));
+        assertThat(indicePlacas.buscarSemelhantes("XYZ9876", 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve calcular a distancia de edicao entre duas placas")
+    void distancia_DeveCalcularDistanciaDeEdicao() {
+        assertThat(IndicePlacas.distancia("ABC1234", "ABC1234")).isZero();
+        assertThat(IndicePlacas.distancia("ABC1234", "ABD1234")).isEqualTo(1);
+        assertThat(IndicePlacas.distancia("ABC1234", "ABC123")).isEqualTo(1);
+        assertThat(IndicePlacas.distancia("ABC1234", "XBC12")).isEqualTo(3);
+    }
+}
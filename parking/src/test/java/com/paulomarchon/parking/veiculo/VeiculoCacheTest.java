@@ -0,0 +1,124 @@
+package com.paulomarchon.parking.veiculo;
+
+import com.paulomarchon.parking.exception.RecursoNaoEncontradoException;
+import com.paulomarchon.parking.veiculo.payload.AtualizarVeiculoRequest;
+import com.paulomarchon.parking.veiculo.payload.CadastroVeiculoRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+public class VeiculoCacheTest {
+
+    @Autowired
+    VeiculoService veiculoService;
+    @Autowired
+    VeiculoRepository veiculoRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            "postgres:16-alpine"
+    );
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        veiculoRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve buscar o veiculo por placa sem transacao em andamento")
+    void buscarVeiculoPorPlaca_DeveEncontrarVeiculo_SemTransacaoAberta() {
+        Placa placa = Placa.from("ABC1234");
+        veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest("marca", "modelo", "cor", placa.getPlaca(), "CARRO"));
+
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+        assertThat(veiculoService.buscarVeiculoPorPlaca(placa).placa()).isEqualTo(placa.getPlaca());
+        assertThat(veiculoRepository.findByPlaca(placa)).isPresent();
+        assertThat(veiculoRepository.findByPlaca(Placa.from("JHG6543"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve resolver a busca por placa pelo cache sem consultar o banco novamente")
+    void buscarVeiculoPorPlaca_DeveUsarCache_NaSegundaBusca() {
+        Placa placa = Placa.from("ABC1234");
+        veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest("marca", "modelo", "cor", placa.getPlaca(), "CARRO"));
+
+        veiculoService.buscarVeiculoPorPlaca(placa);
+        long consultasAposPrimeiraBusca = statistics.getPrepareStatementCount();
+
+        VeiculoDto resultado = veiculoService.buscarVeiculoPorPlaca(placa);
+
+        assertThat(resultado.placa()).isEqualTo(placa.getPlaca());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(consultasAposPrimeiraBusca);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache da placa antiga quando a placa do veiculo for atualizada")
+    void atualizarVeiculo_DeveInvalidarCacheDaPlacaAntiga() {
+        Placa placaAntiga = Placa.from("ABC1234");
+        Placa novaPlaca = Placa.from("GHJ7654");
+        veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest("marca", "modelo", "cor", placaAntiga.getPlaca(), "CARRO"));
+        Integer id = veiculoRepository.findByPlaca(placaAntiga).orElseThrow().getId();
+        veiculoService.buscarVeiculoPorPlaca(placaAntiga);
+        veiculoService.buscarVeiculoPorId(id);
+
+        veiculoService.atualizarVeiculo(id, new AtualizarVeiculoRequest(null, null, "AMARELO", novaPlaca.getPlaca(), null));
+
+        assertThatThrownBy(() -> veiculoService.buscarVeiculoPorPlaca(placaAntiga))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+        assertThat(veiculoService.buscarVeiculoPorPlaca(novaPlaca).cor()).isEqualTo("AMARELO");
+        assertThat(veiculoService.buscarVeiculoPorId(id).placa()).isEqualTo(novaPlaca.getPlaca());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache quando o veiculo for removido")
+    void removerVeiculo_DeveInvalidarCache() {
+        Placa placa = Placa.from("ABC1234");
+        veiculoService.cadastrarVeiculo(new CadastroVeiculoRequest("marca", "modelo", "cor", placa.getPlaca(), "CARRO"));
+        Integer id = veiculoRepository.findByPlaca(placa).orElseThrow().getId();
+        veiculoService.buscarVeiculoPorPlaca(placa);
+        assertThat(veiculoService.buscarTodosVeiculos()).hasSize(1);
+
+        veiculoService.removerVeiculo(id);
+
+        assertThatThrownBy(() -> veiculoService.buscarVeiculoPorId(id))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+        assertThatThrownBy(() -> veiculoService.buscarVeiculoPorPlaca(placa))
+                .isInstanceOf(RecursoNaoEncontradoException.class);
+        assertThat(veiculoService.buscarTodosVeiculos()).isEmpty();
+    }
+}
@@ -11,7 +11,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,12 +24,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class VeiculoServiceTest {
     @Mock
     private VeiculoRepository veiculoRepository;
+    @Mock
+    private BuscaAproximadaPlacas buscaAproximadaPlacas;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private VeiculoService veiculoService;
 
     @BeforeEach
     void setUp() {
-        veiculoService = new VeiculoService(veiculoRepository);
+        veiculoService = new VeiculoService(veiculoRepository, buscaAproximadaPlacas, eventPublisher);
     }
 
     @Test
@@ -100,6 +106,41 @@ public class VeiculoServiceTest {
         verify(veiculoRepository, times(1)).findByPlaca(placa);
     }
 
+    @Test
+    @DisplayName("Deve resolver o veiculo pela placa semelhante quando a leitura diferir apenas por confusao de OCR")
+    void resolverVeiculoPorPlaca_DeveUsarPlacaSemelhante_QuandoPlacaExataNaoEncontrada() {
+        //Given
+        Placa placaLida = Placa.from("A8C1234");
+        Placa placaCadastrada = Placa.from("ABC1234");
+        Veiculo veiculo = new Veiculo(1, "marca", "modelo", "cor", placaCadastrada, TipoVeiculo.CARRO);
+        when(veiculoRepository.findByPlaca(placaLida)).thenReturn(Optional.empty());
+        when(buscaAproximadaPlacas.buscarSemelhantes(placaLida.getPlaca(), 0)).thenReturn(List.of(new PlacaSemelhante("ABC1234", 0)));
+        when(veiculoRepository.findByPlaca(placaCadastrada)).thenReturn(Optional.of(veiculo));
+
+        //When
+        Veiculo resultado = veiculoService.resolverVeiculoPorPlaca(placaLida);
+
+        //Then
+        assertThat(resultado).isSameAs(veiculo);
+    }
+
+    @Test
+    @DisplayName("Deve lancar excecao quando a leitura for semelhante a mais de uma placa")
+    void resolverVeiculoPorPlaca_DeveLancarException_QuandoPlacaSemelhanteForAmbigua() {
+        //Given
+        Placa placaLida = Placa.from("0OO1234");
+        when(veiculoRepository.findByPlaca(placaLida)).thenReturn(Optional.empty());
+        when(buscaAproximadaPlacas.buscarSemelhantes(placaLida.getPlaca(), 0))
+                .thenReturn(List.of(new PlacaSemelhante("OOO1234", 0), new PlacaSemelhante("QOO1234", 0)));
+
+        //When - Then
+        assertThatThrownBy(() -> veiculoService.resolverVeiculoPorPlaca(placaLida))
+                .isInstanceOf(RecursoNaoEncontradoException.class)
+                .satisfies(exception -> assertThat(exception.getMessage()).isEqualTo("Veiculo nao encontrado!"));
+
+        verify(veiculoRepository, times(1)).findByPlaca(any());
+    }
+
     @Test
     @DisplayName("Deve realizar o cadastro de um novo veiculo com sucesso")
     void cadastrarVeiculo_DeveCadastrarVeiculo_ComSucesso() {
@@ -124,6 +165,7 @@ public class VeiculoServiceTest {
         assertThat(veiculo.getCor()).isEqualTo(veiculoRequest.cor());
         assertThat(veiculo.getPlaca().getPlaca()).isEqualTo(veiculoRequest.placa());
         assertThat(veiculo.getTipoVeiculo().name()).isEqualTo(veiculoRequest.tipoVeiculo());
+        verify(eventPublisher).publishEvent(new PlacaAlteradaEvent(veiculo.getId(), placa));
     }
 
     @Test
@@ -198,6 +240,7 @@ public class VeiculoServiceTest {
         assertThat(veiculoCapturado.getCor()).isEqualTo(veiculo.getCor());
         assertThat(veiculoCapturado.getPlaca()).isEqualTo(novaPlaca);
         assertThat(veiculoCapturado.getTipoVeiculo()).isEqualTo(veiculo.getTipoVeiculo());
+        verify(eventPublisher).publishEvent(new PlacaAlteradaEvent(id, novaPlaca));
     }
 
     @Test
@@ -224,6 +267,7 @@ public class VeiculoServiceTest {
         assertThat(veiculoCapturado.getCor()).isEqualTo(veiculoRequest.cor());
         assertThat(veiculoCapturado.getPlaca()).isEqualTo(veiculo.getPlaca());
         assertThat(veiculoCapturado.getTipoVeiculo()).isEqualTo(veiculo.getTipoVeiculo());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -280,6 +324,7 @@ public class VeiculoServiceTest {
 
         //Then
         verify(veiculoRepository).deleteById(id);
+        verify(eventPublisher).publishEvent(PlacaAlteradaEvent.removida(id));
     }
 
     @Test